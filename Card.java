@@ -39,6 +39,16 @@ public class Card
         return suit;
     }
 
+    /**
+     * Gets the position of the card in a 52-card deck ordered by suit (clubs,
+     * diamonds, hearts, spades) and then by rank, for use as a bit index
+     * @return the index of the card, from 0 to 51
+     */
+    public int getIndex()
+    {
+        return "cdhs".indexOf(suit) * 13 + rank - 1;
+    }
+
     /**
      * Checks whether the card is a red card (a heart or diamond)
      * @return true if the card is red; otherwise,
@@ -0,0 +1,243 @@
+import java.util.*;
+
+/**
+ * The DeadPositionAnalyzer class looks at a game of Solitaire and tries to prove
+ * that it can no longer be won. Cards are tracked as bits of a long, using the
+ * index from Card.getIndex(), so each check only costs a few bitwise operations.
+ * A position is only reported as dead when it really is, but not every dead
+ * position is found
+ * @author Ysabel Chen
+ */
+public class DeadPositionAnalyzer
+{
+    //cards that can go under each card on a foundation (same color, one rank lower)
+    private static final long[] PREDECESSORS = new long[52];
+    //cards that each card can be placed on in a pile (other color, one rank higher)
+    private static final long[] PARENTS = new long[52];
+
+    static
+    {
+        for (int i = 0; i < 52; i++)
+        {
+            int rank = i % 13 + 1;
+            for (int j = 0; j < 52; j++)
+            {
+                int otherRank = j % 13 + 1;
+                if (isRed(i) == isRed(j) && otherRank == rank - 1)
+                    PREDECESSORS[i] |= 1L << j;
+                else if (isRed(i) != isRed(j) && otherRank == rank + 1)
+                    PARENTS[i] |= 1L << j;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the game can no longer be won
+     * @param game the Solitaire game
+     * @return true if the game is proven to be unwinnable; otherwise,
+     *         false
+     */
+    public static boolean isDead(Solitaire game)
+    {
+        return hasBlockedCard(game) || !hasMove(game);
+    }
+
+    /**
+     * Checks whether a face-down card is buried above every card it could ever be
+     * moved onto, in a pile or on a foundation. That card can then never leave its
+     * pile, so the cards underneath it can never be reached
+     * @param game the Solitaire game
+     * @return true if some pile has a blocked card; otherwise,
+     *         false
+     */
+    public static boolean hasBlockedCard(Solitaire game)
+    {
+        for (int i = 0; i < 7; i++)
+        {
+            Stack<Card> pile = game.getPile(i);
+            long below = 0;
+            for (int j = 0; j < pile.size(); j++)
+            {
+                Card card = pile.get(j);
+                int index = card.getIndex();
+                //aces can always start a foundation and kings can move to an empty pile
+                if (!card.isFaceUp() && card.getRank() != 1 && card.getRank() != 13)
+                {
+                    long needed = PREDECESSORS[index] | PARENTS[index];
+                    if ((below & needed) == needed)
+                        return true;
+                }
+                below |= 1L << index;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether any move is left besides going around the stock. Every card
+     * that can still be shown on the waste is considered, including those that are
+     * only reached after the waste is turned back over
+     * @param game the Solitaire game
+     * @return true if there is a move, or if there are no cards left to play; otherwise,
+     *         false
+     */
+    public static boolean hasMove(Solitaire game)
+    {
+        if (game.getStock().isEmpty() && game.getWaste().isEmpty() && pilesEmpty(game))
+            return true;
+
+        for (Card card : reachableWasteCards(game))
+        {
+            if (fitsOnFoundation(game, card) || fitsOnPile(game, card, -1))
+                return true;
+        }
+
+        for (int i = 0; i < 7; i++)
+        {
+            Stack<Card> pile = game.getPile(i);
+            if (pile.isEmpty())
+                continue;
+            if (!pile.peek().isFaceUp() || fitsOnFoundation(game, pile.peek()))
+                return true;
+
+            int bottom = pile.size() - 1;
+            while (bottom > 0 && pile.get(bottom - 1).isFaceUp())
+                bottom--;
+            for (int j = 0; j < 7; j++)
+            {
+                //moving a whole pile into an empty one changes nothing
+                if (j != i && !(bottom == 0 && game.getPile(j).isEmpty()) &&
+                fitsOnPile(game, pile.get(bottom), j))
+                    return true;
+            }
+        }
+
+        for (int i = 0; i < 4; i++)
+        {
+            Card card = game.getFoundationCard(i);
+            if (card != null && fitsOnPile(game, card, -1))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Finds the cards that can end up on top of the waste by clicking the stock,
+     * three at a time, and turning the waste back over when the stock runs out
+     * @param game the Solitaire game
+     * @return a list of these cards
+     */
+    private static List<Card> reachableWasteCards(Solitaire game)
+    {
+        Stack<Card> stock = game.getStock();
+        Stack<Card> waste = game.getWaste();
+        List<Card> reachable = new ArrayList<Card>();
+        long seen = 0;
+        if (!waste.isEmpty())
+        {
+            reachable.add(waste.peek());
+            seen |= 1L << waste.peek().getIndex();
+        }
+
+        //the rest of this pass, then every later pass through the whole deck
+        List<Card> deck = new ArrayList<Card>(waste);
+        int dealt = 0;
+        for (int i = stock.size() - 1; i >= 0; i--)
+        {
+            dealt++;
+            deck.add(stock.get(i));
+            if (dealt % 3 == 0 || i == 0)
+                seen = addIfUnseen(reachable, seen, stock.get(i));
+        }
+        for (int i = 0; i < deck.size(); i++)
+        {
+            if (i % 3 == 2 || i == deck.size() - 1)
+                seen = addIfUnseen(reachable, seen, deck.get(i));
+        }
+        return reachable;
+    }
+
+    /**
+     * Adds a card to a list unless its bit is already set
+     * @param cards the list of cards
+     * @param seen the bits of the cards already in the list
+     * @param card the card to add
+     * @return the bits of the cards in the list after adding the card
+     */
+    private static long addIfUnseen(List<Card> cards, long seen, Card card)
+    {
+        long bit = 1L << card.getIndex();
+        if ((seen & bit) == 0)
+            cards.add(card);
+        return seen | bit;
+    }
+
+    /**
+     * Checks whether the card can be legally moved to any foundation
+     * @return true if some foundation accepts the card; otherwise,
+     *         false
+     */
+    private static boolean fitsOnFoundation(Solitaire game, Card card)
+    {
+        for (int i = 0; i < 4; i++)
+        {
+            Card top = game.getFoundationCard(i);
+            if (top == null && card.getRank() == 1)
+                return true;
+            else if (top != null && top.isRed() == card.isRed() &&
+            card.getRank() == top.getRank() + 1)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the card can be legally moved to the given pile, or to any pile
+     * @param index the index of the pile, or -1 for any pile
+     * @return true if the pile accepts the card; otherwise,
+     *         false
+     */
+    private static boolean fitsOnPile(Solitaire game, Card card, int index)
+    {
+        for (int i = 0; i < 7; i++)
+        {
+            if (index >= 0 && i != index)
+                continue;
+            Stack<Card> pile = game.getPile(i);
+            if (pile.isEmpty() && card.getRank() == 13)
+                return true;
+            else if (!pile.isEmpty() && pile.peek().isFaceUp() &&
+            card.isRed() != pile.peek().isRed() &&
+            card.getRank() == pile.peek().getRank() - 1)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether all 7 piles are empty
+     * @return true if every pile is empty; otherwise,
+     *         false
+     */
+    private static boolean pilesEmpty(Solitaire game)
+    {
+        for (int i = 0; i < 7; i++)
+        {
+            if (!game.getPile(i).isEmpty())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the card with the given index is red
+     * @param index the index of the card, as in Card.getIndex()
+     * @return true if the card is a diamond or heart; otherwise,
+     *         false
+     */
+    private static boolean isRed(int index)
+    {
+        int suit = index / 13;
+        return suit == 1 || suit == 2;
+    }
+}
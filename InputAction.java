@@ -0,0 +1,74 @@
+/**
+ * The InputAction class represents one thing a player does in a game of Solitaire:
+ * either a single click, or a move made of two clicks (one to select a card
+ * and one to place it)
+ * @author Ysabel Chen
+ */
+public class InputAction
+{
+    private long time;
+    private String[] targets;
+    private int[] indexes;
+
+    /**
+     * Creates an InputAction that clicks the given parts of the table in order
+     * @param time when the action happened in milliseconds, or -1 if unknown
+     * @param targets "stock", "waste", "pile" or "foundation" for each click
+     * @param indexes the index of the pile or foundation for each click
+     */
+    public InputAction(long time, String[] targets, int[] indexes)
+    {
+        this.time = time;
+        this.targets = targets;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Gets when the action happened, relative to the start of the session
+     * @return the time in milliseconds, or -1 if unknown
+     */
+    public long getTime()
+    {
+        return time;
+    }
+
+    /**
+     * Applies the clicks of the action to the game. A move is carried out as a
+     * whole or not at all: if its first click does not select a card, or its second
+     * click does not place it, whatever is still selected is unselected
+     * @param game the Solitaire game
+     * @return true if the action was a click, or a move that was carried out; otherwise,
+     *         false
+     */
+    public boolean apply(Solitaire game)
+    {
+        Selection selection = game.getSelection();
+        click(game, 0);
+        if (targets.length == 1)
+            return true;
+
+        boolean selected = selection.getRow() >= 0;
+        click(game, 1);
+        boolean placed = selected && selection.getRow() < 0 &&
+        !(targets[0].equals(targets[1]) && indexes[0] == indexes[1]);
+        selection.unselect();
+        return placed;
+    }
+
+    /**
+     * Applies one click of the action to the game
+     * @param game the Solitaire game
+     * @param i the index of the click
+     */
+    private void click(Solitaire game, int i)
+    {
+        if (targets[i].equals("stock"))
+            game.stockClicked();
+        else if (targets[i].equals("waste"))
+            game.wasteClicked();
+        else if (targets[i].equals("pile"))
+            game.pileClicked(indexes[i]);
+        else
+            game.foundationClicked(indexes[i]);
+    }
+}
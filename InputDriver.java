@@ -0,0 +1,18 @@
+import java.io.*;
+import java.util.*;
+
+/**
+ * The InputDriver interface is a source of actions to play in a game of Solitaire
+ * without the mouse, such as a script read from a file or a pipe
+ * @author Ysabel Chen
+ */
+public interface InputDriver
+{
+    /**
+     * Reads the next actions to apply
+     * @param max the largest number of actions to return
+     * @return a list of at most max actions, which is empty when there are no more
+     * @throws IOException if the actions cannot be read
+     */
+    List<InputAction> nextBatch(int max) throws IOException;
+}
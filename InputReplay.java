@@ -0,0 +1,194 @@
+import java.io.*;
+import java.util.*;
+
+/**
+ * The InputReplay class plays the actions from an InputDriver against a game of
+ * Solitaire without a window, and reports how long each action took
+ * @author Ysabel Chen
+ */
+public class InputReplay
+{
+    /**
+     * Replays a script and prints the latency percentiles. The arguments are the
+     * script file (or - for standard input), then optionally the seed used to
+     * shuffle the deck, the speed relative to real time (0 for as fast as
+     * possible), and the number of actions per batch
+     * @param args the command-line arguments
+     * @throws IOException if the script cannot be read
+     */
+    public static void main(String[] args) throws IOException
+    {
+        int batchSize = 64;
+        if (args.length > 3)
+            batchSize = Integer.parseInt(args[3]);
+        if (args.length == 0 || batchSize < 1)
+        {
+            System.out.println("usage: java InputReplay <script|-> [seed] [speed] [batch]");
+            System.out.println("  batch must be at least 1");
+            return;
+        }
+        Random random = new Random();
+        if (args.length > 1)
+            random = new Random(Long.parseLong(args[1]));
+        double speed = 100;
+        if (args.length > 2)
+            speed = Double.parseDouble(args[2]);
+
+        Reader in;
+        if (args[0].equals("-"))
+            in = new InputStreamReader(System.in);
+        else
+            in = new FileReader(args[0]);
+        InputReplay replay = new InputReplay(new Solitaire(random, false),
+                                             new ScriptedInputDriver(in), speed, batchSize);
+        try
+        {
+            replay.run();
+        }
+        finally
+        {
+            in.close();
+        }
+        replay.report(System.out);
+    }
+
+    private Solitaire game;
+    private InputDriver driver;
+    private double speed;
+    private int batchSize;
+    private long[] latencies;
+    private int count;
+    private int failed;
+
+    /**
+     * Constructs an InputReplay object
+     * @param game the Solitaire game to play
+     * @param driver where the actions come from
+     * @param speed how many times faster than real time to play timed actions,
+     *        or 0 to play every action as fast as possible
+     * @param batchSize the number of actions to read and apply at a time, at least 1
+     */
+    public InputReplay(Solitaire game, InputDriver driver, double speed, int batchSize)
+    {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("bad batch size:  " + batchSize);
+        this.game = game;
+        this.driver = driver;
+        this.speed = speed;
+        this.batchSize = batchSize;
+        latencies = new long[1024];
+        count = 0;
+        failed = 0;
+    }
+
+    /**
+     * Applies every action from the driver, reading them one batch at a time. Each
+     * timed action is held back until its time, scaled by the speed, has passed
+     * @throws IOException if the actions cannot be read
+     */
+    public void run() throws IOException
+    {
+        long start = System.nanoTime();
+        long firstTime = -1;
+        List<InputAction> batch = driver.nextBatch(batchSize);
+        while (!batch.isEmpty())
+        {
+            for (InputAction action : batch)
+            {
+                long time = action.getTime();
+                if (speed > 0 && time >= 0)
+                {
+                    if (firstTime < 0)
+                        firstTime = time;
+                    waitUntil(start + (long)((time - firstTime) * 1000000 / speed));
+                }
+
+                long before = System.nanoTime();
+                if (action.apply(game))
+                    record(System.nanoTime() - before);
+                else
+                    failed++;
+            }
+            batch = driver.nextBatch(batchSize);
+        }
+    }
+
+    /**
+     * Gets the number of moves that could not be carried out. Once a move fails,
+     * the game may no longer match the session the script was captured from
+     * @return the number of failed moves
+     */
+    public int getFailedMoves()
+    {
+        return failed;
+    }
+
+    /**
+     * Prints the number of actions, the number of failed moves, and the latency
+     * percentiles in microseconds. Failed moves are not counted in the percentiles
+     * @param out where to print the report
+     */
+    public void report(PrintStream out)
+    {
+        if (failed > 0)
+            out.println("failed moves: " + failed + " (the replay no longer matches the script)");
+        if (count == 0)
+        {
+            out.println("no actions");
+            return;
+        }
+        out.println("actions: " + count);
+        out.printf("p50: %.1f us%n", getPercentile(50) / 1000.0);
+        out.printf("p90: %.1f us%n", getPercentile(90) / 1000.0);
+        out.printf("p99: %.1f us%n", getPercentile(99) / 1000.0);
+        out.printf("max: %.1f us%n", getPercentile(100) / 1000.0);
+    }
+
+    /**
+     * Gets the latency that the given percent of actions took at most
+     * @precondition at least one action has been applied
+     * @param percent the percentile, from 0 to 100
+     * @return the latency in nanoseconds
+     */
+    public long getPercentile(double percent)
+    {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int index = (int)Math.ceil(percent / 100 * count) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    /**
+     * Adds the latency of one action
+     * @param nanos the latency in nanoseconds
+     */
+    private void record(long nanos)
+    {
+        if (count == latencies.length)
+            latencies = Arrays.copyOf(latencies, count * 2);
+        latencies[count] = nanos;
+        count++;
+    }
+
+    /**
+     * Sleeps until System.nanoTime() reaches the given time
+     * @param due the time to wait for
+     */
+    private void waitUntil(long due)
+    {
+        long left = due - System.nanoTime();
+        while (left > 0)
+        {
+            try
+            {
+                Thread.sleep(left / 1000000, (int)(left % 1000000));
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            left = due - System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+import java.util.*;
+
+/**
+ * The PackedPosition class stores a game of Solitaire in 64 bytes (8 longs), for
+ * keeping very many positions in memory. Each of the 52 cards takes 6 bits, listed
+ * pile by pile, then foundation by foundation, then the stock and the waste, each
+ * from the bottom up. The sizes of the piles, foundations, stock and waste and the
+ * number of face-down cards in each pile come first. What is selected is not kept
+ * @author Ysabel Chen
+ */
+public class PackedPosition
+{
+    public static final int LONGS = 8;  //length of a packed position in longs
+    public static final int BYTES = LONGS * 8;  //length of a packed position in bytes
+
+    private static final int CARD_BITS = 6;
+    private static final int PILE_BITS = 5;  //up to 6 face-down cards and king to ace
+    private static final int FACE_DOWN_BITS = 3;
+    private static final int DECK_BITS = 6;  //stock and waste
+    private static final int FOUNDATION_BITS = 4;
+    private static final String SUITS = "cdhs";  //in the order of Card.getIndex()
+
+    /**
+     * Packs the position of a game
+     * @param game the Solitaire game
+     * @return the packed position
+     */
+    public static long[] pack(Solitaire game)
+    {
+        long[] packed = new long[LONGS];
+        pack(game, packed);
+        return packed;
+    }
+
+    /**
+     * Packs the position of a game into the given array, overwriting it
+     * @precondition packed.length >= LONGS
+     * @param game the Solitaire game
+     * @param packed where to put the packed position
+     */
+    public static void pack(Solitaire game, long[] packed)
+    {
+        Arrays.fill(packed, 0, LONGS, 0);
+        int pos = 0;
+        for (int i = 0; i < 7; i++)
+            pos = write(packed, pos, PILE_BITS, game.getPile(i).size());
+        for (int i = 0; i < 7; i++)
+            pos = write(packed, pos, FACE_DOWN_BITS, countFaceDown(game.getPile(i)));
+        for (int i = 0; i < 4; i++)
+            pos = write(packed, pos, FOUNDATION_BITS, game.getFoundation(i).size());
+        pos = write(packed, pos, DECK_BITS, game.getStock().size());
+        pos = write(packed, pos, DECK_BITS, game.getWaste().size());
+
+        int cards = 0;
+        List<Stack<Card>> stacks = allStacks(game);
+        for (Stack<Card> stack : stacks)
+        {
+            for (Card card : stack)
+            {
+                if (cards == 52)
+                    throw new IllegalArgumentException("more than 52 cards");
+                pos = write(packed, pos, CARD_BITS, card.getIndex());
+                cards++;
+            }
+        }
+        if (cards != 52)
+            throw new IllegalArgumentException("expected 52 cards, found " + cards);
+    }
+
+    /**
+     * Builds a game from a packed position. The game has no display
+     * @param packed the packed position
+     * @return the Solitaire game
+     */
+    public static Solitaire unpack(long[] packed)
+    {
+        int pos = 0;
+        int[] pileSizes = new int[7];
+        int[] faceDown = new int[7];
+        int[] foundationSizes = new int[4];
+        for (int i = 0; i < 7; i++)
+        {
+            pileSizes[i] = read(packed, pos, PILE_BITS);
+            pos += PILE_BITS;
+        }
+        for (int i = 0; i < 7; i++)
+        {
+            faceDown[i] = read(packed, pos, FACE_DOWN_BITS);
+            pos += FACE_DOWN_BITS;
+        }
+        for (int i = 0; i < 4; i++)
+        {
+            foundationSizes[i] = read(packed, pos, FOUNDATION_BITS);
+            pos += FOUNDATION_BITS;
+        }
+        int stockSize = read(packed, pos, DECK_BITS);
+        pos += DECK_BITS;
+        int wasteSize = read(packed, pos, DECK_BITS);
+        pos += DECK_BITS;
+
+        Stack<Card>[] piles = new Stack[7];
+        for (int i = 0; i < 7; i++)
+        {
+            piles[i] = new Stack<Card>();
+            for (int j = 0; j < pileSizes[i]; j++)
+            {
+                piles[i].push(readCard(packed, pos, j >= faceDown[i]));
+                pos += CARD_BITS;
+            }
+        }
+        Stack<Card>[] foundations = new Stack[4];
+        for (int i = 0; i < 4; i++)
+        {
+            foundations[i] = new Stack<Card>();
+            for (int j = 0; j < foundationSizes[i]; j++)
+            {
+                foundations[i].push(readCard(packed, pos, true));
+                pos += CARD_BITS;
+            }
+        }
+        Stack<Card> stock = new Stack<Card>();
+        for (int i = 0; i < stockSize; i++)
+        {
+            stock.push(readCard(packed, pos, false));
+            pos += CARD_BITS;
+        }
+        Stack<Card> waste = new Stack<Card>();
+        for (int i = 0; i < wasteSize; i++)
+        {
+            waste.push(readCard(packed, pos, true));
+            pos += CARD_BITS;
+        }
+        return new Solitaire(stock, waste, foundations, piles);
+    }
+
+    /**
+     * Gets the piles, foundations, stock and waste of a game, in the packed order
+     * @param game the Solitaire game
+     * @return a list of the stacks
+     */
+    private static List<Stack<Card>> allStacks(Solitaire game)
+    {
+        List<Stack<Card>> stacks = new ArrayList<Stack<Card>>();
+        for (int i = 0; i < 7; i++)
+            stacks.add(game.getPile(i));
+        for (int i = 0; i < 4; i++)
+            stacks.add(game.getFoundation(i));
+        stacks.add(game.getStock());
+        stacks.add(game.getWaste());
+        return stacks;
+    }
+
+    /**
+     * Counts the face-down cards at the bottom of a pile
+     * @param pile the pile
+     * @return the number of face-down cards
+     */
+    private static int countFaceDown(Stack<Card> pile)
+    {
+        int count = 0;
+        while (count < pile.size() && !pile.get(count).isFaceUp())
+            count++;
+        return count;
+    }
+
+    /**
+     * Creates the card stored at the given bit position
+     * @param packed the packed position
+     * @param pos the bit position of the card
+     * @param faceUp whether to turn the card face up
+     * @return the card
+     */
+    private static Card readCard(long[] packed, int pos, boolean faceUp)
+    {
+        int index = read(packed, pos, CARD_BITS);
+        Card card = new Card(index % 13 + 1, SUITS.substring(index / 13, index / 13 + 1));
+        if (faceUp)
+            card.turnUp();
+        return card;
+    }
+
+    /**
+     * Writes a value into the given number of bits, starting at a bit position
+     * @precondition 0 <= value < 2^bits
+     * @param packed the packed position
+     * @param pos the bit position
+     * @param bits the number of bits
+     * @param value the value
+     * @return the bit position after the value
+     */
+    private static int write(long[] packed, int pos, int bits, int value)
+    {
+        if (value < 0 || value >= 1 << bits)
+            throw new IllegalArgumentException("value does not fit in " + bits +
+                                               " bits:  " + value);
+        int offset = pos & 63;
+        packed[pos >>> 6] |= (long)value << offset;
+        if (offset + bits > 64)
+            packed[(pos >>> 6) + 1] |= (long)value >>> (64 - offset);
+        return pos + bits;
+    }
+
+    /**
+     * Reads the value in the given number of bits, starting at a bit position
+     * @param packed the packed position
+     * @param pos the bit position
+     * @param bits the number of bits
+     * @return the value
+     */
+    private static int read(long[] packed, int pos, int bits)
+    {
+        int offset = pos & 63;
+        long value = packed[pos >>> 6] >>> offset;
+        if (offset + bits > 64)
+            value |= packed[(pos >>> 6) + 1] << (64 - offset);
+        return (int)(value & ((1L << bits) - 1));
+    }
+}
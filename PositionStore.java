@@ -0,0 +1,94 @@
+import java.nio.*;
+import java.util.*;
+
+/**
+ * The PositionStore class holds packed Solitaire positions outside of the Java
+ * heap, so that tens of millions of them can be kept without slowing down garbage
+ * collection. Memory is taken in segments of 64 MB as the store grows, and comes
+ * out of the direct memory limit (see -XX:MaxDirectMemorySize)
+ * @author Ysabel Chen
+ */
+public class PositionStore
+{
+    private static final int SEGMENT_SHIFT = 20;
+    private static final int POSITIONS_PER_SEGMENT = 1 << SEGMENT_SHIFT;
+
+    private List<LongBuffer> segments;
+    private long size;
+
+    /**
+     * Constructs an empty PositionStore
+     */
+    public PositionStore()
+    {
+        segments = new ArrayList<LongBuffer>();
+        size = 0;
+    }
+
+    /**
+     * Gets the number of positions in the store
+     * @return the number of positions
+     */
+    public long size()
+    {
+        return size;
+    }
+
+    /**
+     * Packs the position of a game and adds it to the end of the store
+     * @param game the Solitaire game
+     * @return the index of the position
+     */
+    public long add(Solitaire game)
+    {
+        return add(PackedPosition.pack(game));
+    }
+
+    /**
+     * Adds a packed position to the end of the store
+     * @precondition packed.length >= PackedPosition.LONGS
+     * @param packed the packed position
+     * @return the index of the position
+     */
+    public long add(long[] packed)
+    {
+        if ((size & (POSITIONS_PER_SEGMENT - 1)) == 0)
+            segments.add(ByteBuffer.allocateDirect(POSITIONS_PER_SEGMENT * PackedPosition.BYTES)
+                                   .order(ByteOrder.nativeOrder()).asLongBuffer());
+        LongBuffer segment = segments.get((int)(size >>> SEGMENT_SHIFT));
+        int start = (int)(size & (POSITIONS_PER_SEGMENT - 1)) * PackedPosition.LONGS;
+        for (int i = 0; i < PackedPosition.LONGS; i++)
+            segment.put(start + i, packed[i]);
+        size++;
+        return size - 1;
+    }
+
+    /**
+     * Copies the packed position at the given index into an array
+     * @precondition 0 <= index < size(); packed.length >= PackedPosition.LONGS
+     * @param index the index of the position
+     * @param packed where to put the packed position
+     */
+    public void get(long index, long[] packed)
+    {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        LongBuffer segment = segments.get((int)(index >>> SEGMENT_SHIFT));
+        int start = (int)(index & (POSITIONS_PER_SEGMENT - 1)) * PackedPosition.LONGS;
+        for (int i = 0; i < PackedPosition.LONGS; i++)
+            packed[i] = segment.get(start + i);
+    }
+
+    /**
+     * Builds a game from the position at the given index
+     * @precondition 0 <= index < size()
+     * @param index the index of the position
+     * @return the Solitaire game, without a display
+     */
+    public Solitaire get(long index)
+    {
+        long[] packed = new long[PackedPosition.LONGS];
+        get(index, packed);
+        return PackedPosition.unpack(packed);
+    }
+}
@@ -0,0 +1,119 @@
+import java.io.*;
+import java.util.*;
+
+/**
+ * The ScriptedInputDriver class reads Solitaire actions from a script, one per
+ * line. A line is either a click, such as "stock", "waste", "pile 3" or
+ * "foundation 0", or a move, such as "move waste pile 3" or
+ * "move pile 2 foundation 1". A line may start with the time in milliseconds
+ * at which it happened, and blank lines and lines starting with # are skipped
+ * @author Ysabel Chen
+ */
+public class ScriptedInputDriver implements InputDriver
+{
+    private BufferedReader reader;
+    private int lineNumber;
+
+    /**
+     * Creates a ScriptedInputDriver that reads from the given reader
+     * @param reader the script, from a file or a pipe
+     */
+    public ScriptedInputDriver(Reader reader)
+    {
+        this.reader = new BufferedReader(reader);
+        lineNumber = 0;
+    }
+
+    /**
+     * Reads the next actions from the script
+     * @param max the largest number of actions to return
+     * @return a list of at most max actions, which is empty at the end of the script
+     * @throws IOException if the script cannot be read
+     */
+    public List<InputAction> nextBatch(int max) throws IOException
+    {
+        List<InputAction> batch = new ArrayList<InputAction>();
+        String line;
+        while (batch.size() < max && (line = reader.readLine()) != null)
+        {
+            lineNumber++;
+            line = line.trim();
+            if (line.length() > 0 && !line.startsWith("#"))
+                batch.add(parse(line));
+        }
+        return batch;
+    }
+
+    /**
+     * Turns a line of the script into an action
+     * @param line the line, without surrounding whitespace
+     * @return the action
+     */
+    private InputAction parse(String line)
+    {
+        List<String> tokens = new ArrayList<String>(Arrays.asList(line.split("\\s+")));
+        long time = -1;
+        if (Character.isDigit(tokens.get(0).charAt(0)))
+        {
+            try
+            {
+                time = Long.parseLong(tokens.remove(0));
+            }
+            catch (NumberFormatException e)
+            {
+                throw new IllegalArgumentException("line " + lineNumber + ": bad time");
+            }
+        }
+
+        int clicks = 1;
+        if (!tokens.isEmpty() && tokens.get(0).equals("move"))
+        {
+            tokens.remove(0);
+            clicks = 2;
+        }
+
+        String[] targets = new String[clicks];
+        int[] indexes = new int[clicks];
+        for (int i = 0; i < clicks; i++)
+        {
+            if (tokens.isEmpty())
+                throw new IllegalArgumentException("line " + lineNumber + ": missing target");
+            targets[i] = tokens.remove(0);
+            if (targets[i].equals("pile"))
+                indexes[i] = parseIndex(tokens, 7);
+            else if (targets[i].equals("foundation"))
+                indexes[i] = parseIndex(tokens, 4);
+            else if (!targets[i].equals("stock") && !targets[i].equals("waste"))
+                throw new IllegalArgumentException("line " + lineNumber + ": bad target:  " +
+                                                   targets[i]);
+        }
+        if (!tokens.isEmpty())
+            throw new IllegalArgumentException("line " + lineNumber + ": extra input:  " +
+                                               tokens);
+        return new InputAction(time, targets, indexes);
+    }
+
+    /**
+     * Removes and returns the index following a pile or foundation
+     * @param tokens the rest of the line
+     * @param count the number of piles or foundations
+     * @return the index
+     */
+    private int parseIndex(List<String> tokens, int count)
+    {
+        if (tokens.isEmpty())
+            throw new IllegalArgumentException("line " + lineNumber + ": missing index");
+        int index;
+        try
+        {
+            index = Integer.parseInt(tokens.remove(0));
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException("line " + lineNumber + ": bad index");
+        }
+        if (index < 0 || index >= count)
+            throw new IllegalArgumentException("line " + lineNumber + ": bad index");
+        return index;
+    }
+}
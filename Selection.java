@@ -0,0 +1,124 @@
+/**
+ * The Selection class keeps track of which card in the Solitaire game is selected,
+ * as a row and column in the layout of the table
+ * @author Ysabel Chen
+ */
+public class Selection
+{
+    private int selectedRow = -1;
+    private int selectedCol = -1;
+
+    /**
+     * Gets the row of the selected card
+     * @return 0 for the stock, waste and foundations, 1 for the piles, or -1
+     *         if nothing is selected
+     */
+    public int getRow()
+    {
+        return selectedRow;
+    }
+
+    /**
+     * Gets the column of the selected card
+     * @return the column of the selected card, or -1 if nothing is selected
+     */
+    public int getCol()
+    {
+        return selectedCol;
+    }
+
+    /**
+     * Deselects what is selected
+     */
+    public void unselect()
+    {
+        selectedRow = -1;
+        selectedCol = -1;
+    }
+
+    /**
+     * Checks whether the waste is selected
+     * @return true is the waste is selected; otherwise,
+     *         false
+     */
+    public boolean isWasteSelected()
+    {
+        return selectedRow == 0 && selectedCol == 1;
+    }
+
+    /**
+     * Changes the selected row and column to the waste
+     */
+    public void selectWaste()
+    {
+        selectedRow = 0;
+        selectedCol = 1;
+    }
+
+    /**
+     * Checks whether a pile is selected
+     * @return true is a pile is selected; otherwise,
+     *         false
+     */
+    public boolean isPileSelected()
+    {
+        return selectedRow == 1;
+    }
+
+    /**
+     * Gets the index of the selected pile
+     * @return the index of the selected pile
+     */
+    public int selectedPile()
+    {
+        if (selectedRow == 1)
+            return selectedCol;
+        else
+            return -1;
+    }
+
+    /**
+     * Changes the selected row and column to the pile
+     * @param index the index of the pile
+     */
+    public void selectPile(int index)
+    {
+        selectedRow = 1;
+        selectedCol = index;
+    }
+
+    /**
+     * Checks whether a pile is selected
+     * @return true is a pile is selected; otherwise,
+     *         false
+     */
+    public boolean isFoundationSelected()
+    {
+        if (selectedRow == 0)
+            if (selectedCol > 2 && selectedCol < 7)
+                return true;
+        return false;
+    }
+
+    /**
+     * Gets the index of the selected foundation
+     * @return the index of the selected foundation
+     */
+    public int selectedFoundation()
+    {
+        if (isFoundationSelected())
+            return selectedCol - 3;
+        else
+            return -1;
+    }
+
+    /**
+     * Changes the selected row and column to the foundation
+     * @param index the index of the foundation
+     */
+    public void selectFoundation(int index)
+    {
+        selectedRow = 0;
+        selectedCol = index + 3;
+    }
+}
@@ -7,26 +7,54 @@ import java.util.*;
 public class Solitaire
 {
     /**
-     * Creates a new game of Solitaire
+     * Creates a new game of Solitaire, and reports how long it took to show it.
+     * With -Dsolitaire.exitAfterFirstPaint=true the program exits right after,
+     * which is used as the training run for a class-data sharing (AppCDS) archive.
+     * run.sh does this automatically; by hand, from a jar of the compiled classes:
+     * <pre>
+     * java -XX:ArchiveClassesAtExit=solitaire.jsa -Dsolitaire.exitAfterFirstPaint=true
+     *      -cp solitaire.jar Solitaire
+     * java -XX:SharedArchiveFile=solitaire.jsa -cp solitaire.jar Solitaire
+     * </pre>
      * @param args the main entry point
+     * @throws InterruptedException if interrupted while waiting for the first paint
      */
-    public static void main(String[] args)
+    public static void main(String[] args) throws InterruptedException
     {
-        new Solitaire();
+        Solitaire game = new Solitaire();
+        long millis = game.display.awaitFirstPaint();
+        System.out.println("First paint " + millis + " ms after launch");
+        if (Boolean.getBoolean("solitaire.exitAfterFirstPaint"))
+            System.exit(0);
     }
 
     private Stack<Card> stock;
     private Stack<Card> waste;
     private Stack<Card>[] foundations;
     private Stack<Card>[] piles;
+    private Selection selection;
+    private Random random;
     private SolitaireDisplay display;
 
     /**
-     * Constructs a Solitaire object, and initializes the stock, waste, foundations,
-     * and piles to be empty Stacks of Cards
+     * Constructs a Solitaire object with a randomly shuffled deck, and shows it
      */
     public Solitaire()
     {
+        this(new Random(), true);
+    }
+
+    /**
+     * Constructs a Solitaire object, and initializes the stock, waste, foundations,
+     * and piles to be empty Stacks of Cards before dealing
+     * @param random the source of randomness used to shuffle the deck
+     * @param showDisplay true to show the game in a window, or false to play it
+     *        without one, as when it is driven by an InputDriver
+     */
+    public Solitaire(Random random, boolean showDisplay)
+    {
+        this.random = random;
+        selection = new Selection();
         foundations = new Stack[4];
         for (int i = 0; i < 4; i++)
             foundations[i] = new Stack<Card>();
@@ -35,9 +63,38 @@ public class Solitaire
             piles[i] = new Stack<Card>();
         stock = new Stack<Card>();
         waste = new Stack<Card>();
-        display = new SolitaireDisplay(this);
         this.createStock();
         this.deal();
+        if (showDisplay)
+            display = new SolitaireDisplay(this);
+    }
+
+    /**
+     * Constructs a Solitaire object from cards that are already laid out, without
+     * a display. Nothing is selected
+     * @param stock the stock
+     * @param waste the waste
+     * @param foundations the 4 foundations
+     * @param piles the 7 piles
+     */
+    public Solitaire(Stack<Card> stock, Stack<Card> waste, Stack<Card>[] foundations,
+                     Stack<Card>[] piles)
+    {
+        this.stock = stock;
+        this.waste = waste;
+        this.foundations = foundations;
+        this.piles = piles;
+        random = new Random();
+        selection = new Selection();
+    }
+
+    /**
+     * Gets what is currently selected in the game
+     * @return the selection
+     */
+    public Selection getSelection()
+    {
+        return selection;
     }
 
     /**
@@ -79,6 +136,32 @@ public class Solitaire
             return null;
     }
 
+    /**
+     * @return the reference to the stock
+     */
+    public Stack<Card> getStock()
+    {
+        return stock;
+    }
+
+    /**
+     * @return the reference to the waste
+     */
+    public Stack<Card> getWaste()
+    {
+        return waste;
+    }
+
+    /**
+     * @precondition  0 <= index < 4
+     * @param index the index of the foundation
+     * @return the reference to the foundation
+     */
+    public Stack<Card> getFoundation(int index)
+    {
+        return foundations[index];
+    }
+
     /**
      * @precondition  0 <= index < 7
      * @param index the index of the pile
@@ -105,7 +188,7 @@ public class Solitaire
         }
         while(deck.size() != 0)
         {
-            int r = (int)(Math.random() * deck.size());
+            int r = random.nextInt(deck.size());
             stock.push(deck.remove(r));
         }
     }
@@ -169,8 +252,8 @@ public class Solitaire
      */
     public void stockClicked()
     {
-        if(!display.isWasteSelected() && !display.isPileSelected() &&
-        !display.isFoundationSelected())
+        if(!selection.isWasteSelected() && !selection.isPileSelected() &&
+        !selection.isFoundationSelected())
         {
             if(!stock.isEmpty())
                 this.dealThreeCards();
@@ -184,11 +267,11 @@ public class Solitaire
      */
     public void wasteClicked()
     {
-        if(!waste.isEmpty() && !display.isWasteSelected() &&
-        !display.isPileSelected() && !display.isFoundationSelected())
-            display.selectWaste();
-        else if (display.isWasteSelected())
-            display.unselect();
+        if(!waste.isEmpty() && !selection.isWasteSelected() &&
+        !selection.isPileSelected() && !selection.isFoundationSelected())
+            selection.selectWaste();
+        else if (selection.isWasteSelected())
+            selection.unselect();
     }
 
     /**
@@ -198,37 +281,37 @@ public class Solitaire
      */
     public void pileClicked(int index)
     {
-        if(!display.isWasteSelected() && !display.isPileSelected() &&
-        !display.isFoundationSelected() && !piles[index].isEmpty())
+        if(!selection.isWasteSelected() && !selection.isPileSelected() &&
+        !selection.isFoundationSelected() && !piles[index].isEmpty())
         {
             if (piles[index].peek().isFaceUp())
-                display.selectPile(index);
+                selection.selectPile(index);
             else if (!piles[index].peek().isFaceUp())
                 piles[index].peek().turnUp();
         }
-        else if(display.isPileSelected() && display.selectedPile() == index)
-            display.unselect();
-        else if(display.isWasteSelected() && canAddToPile(waste.peek(), index))
+        else if(selection.isPileSelected() && selection.selectedPile() == index)
+            selection.unselect();
+        else if(selection.isWasteSelected() && canAddToPile(waste.peek(), index))
         {
             piles[index].push(waste.pop());
-            display.unselect();
+            selection.unselect();
         }
-        else if(display.isPileSelected() && display.selectedPile() != index)
+        else if(selection.isPileSelected() && selection.selectedPile() != index)
         {
-            Stack<Card> removed = removeFaceUpCards(display.selectedPile());
+            Stack<Card> removed = removeFaceUpCards(selection.selectedPile());
             if (canAddToPile(removed.peek(), index))
             {
                 addToPile(removed, index);
-                display.unselect();
+                selection.unselect();
             }
             else
-                addToPile(removed, display.selectedPile());
+                addToPile(removed, selection.selectedPile());
         }
-        else if(display.selectedFoundation() >= 0 &&
-        canAddToPile(foundations[display.selectedFoundation()].peek(), index))
+        else if(selection.selectedFoundation() >= 0 &&
+        canAddToPile(foundations[selection.selectedFoundation()].peek(), index))
         {
-            piles[index].push(foundations[display.selectedFoundation()].pop());
-            display.unselect();
+            piles[index].push(foundations[selection.selectedFoundation()].pop());
+            selection.unselect();
         }
     }
 
@@ -283,28 +366,28 @@ public class Solitaire
      */
     public void foundationClicked(int index)
     {
-        if(display.isFoundationSelected() && display.selectedFoundation() == index)
-            display.unselect();
-        else if(display.isWasteSelected() && !waste.isEmpty() &&
+        if(selection.isFoundationSelected() && selection.selectedFoundation() == index)
+            selection.unselect();
+        else if(selection.isWasteSelected() && !waste.isEmpty() &&
         canAddToFoundation(waste.peek(), index))
         {
             foundations[index].push(waste.pop());
-            display.unselect();
+            selection.unselect();
             if (checkForWin())
                 System.out.println("Congratulations! You win!");
         }
-        else if(display.isPileSelected() && !piles[display.selectedPile()].isEmpty() &&
-        canAddToFoundation(piles[display.selectedPile()].peek(), index))
+        else if(selection.isPileSelected() && !piles[selection.selectedPile()].isEmpty() &&
+        canAddToFoundation(piles[selection.selectedPile()].peek(), index))
         {
-            foundations[index].push(piles[display.selectedPile()].pop());
-            display.unselect();
+            foundations[index].push(piles[selection.selectedPile()].pop());
+            selection.unselect();
             if (checkForWin())
                 System.out.println("Congratulations! You win!");
         }
         else if(!foundations[index].isEmpty() &&
-        !display.isWasteSelected() && !display.isPileSelected())
+        !selection.isWasteSelected() && !selection.isPileSelected())
         {
-            display.selectFoundation(index);
+            selection.selectFoundation(index);
         }
     }
 
@@ -1,7 +1,10 @@
 import java.awt.*;
 import java.awt.event.*;
 import java.io.*;
+import java.lang.management.*;
 import java.util.*;
+import java.util.concurrent.*;
+import javax.imageio.*;
 import javax.swing.*;
 
 /**
@@ -17,19 +20,32 @@ public class SolitaireDisplay extends JComponent implements MouseListener
     private static final int FACE_UP_OFFSET = 15;  //distance for cascading face-up cards
     private static final int FACE_DOWN_OFFSET = 5;  //distance for cascading face-down cards
 
+    //decoded card images by file name, shared by every display
+    private static final Map<String, Image> IMAGES = new ConcurrentHashMap<String, Image>();
+
     private JFrame frame;
-    private int selectedRow = -1;
-    private int selectedCol = -1;
+    private CountDownLatch firstPaint = new CountDownLatch(1);
+    private long firstPaintTime;
     private Solitaire game;
 
     /**
-     * Constructs a SolitaireDisplay object, and creates the frame
-     * @param game the Solitaire game
+     * Constructs a SolitaireDisplay object, and creates the frame. The card images
+     * are decoded on a few background threads while the frame is built, leaving one
+     * processor for the frame, and the frame is only shown once they are ready, so
+     * the first paint does not wait on image files
+     * @param game the Solitaire game, which should already be dealt
      */
     public SolitaireDisplay(Solitaire game)
     {
         this.game = game;
 
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        ExecutorService loader = Executors.newFixedThreadPool(threads);
+        java.util.List<Future<?>> loads = new ArrayList<Future<?>>();
+        for (String fileName : cardFileNames())
+            loads.add(loader.submit(() -> loadImage(fileName)));
+        loader.shutdown();
+
         frame = new JFrame("Solitaire");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.getContentPane().add(this);
@@ -40,15 +56,80 @@ public class SolitaireDisplay extends JComponent implements MouseListener
         this.addMouseListener(this);
 
         frame.pack();
+
+        for (Future<?> load : loads)
+        {
+            try
+            {
+                load.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            catch (ExecutionException e)
+            {
+                //drawCard will load the image itself
+            }
+        }
         frame.setVisible(true);
     }
 
+    /**
+     * Gets the file names of every card image, face up and face down
+     * @return a list of the file names
+     */
+    private static java.util.List<String> cardFileNames()
+    {
+        java.util.List<String> fileNames = new ArrayList<String>();
+        String[] suits = {"c", "d", "h", "s"};
+        for (int rank = 1; rank < 14; rank++)
+        {
+            for (String suit : suits)
+            {
+                Card card = new Card(rank, suit);
+                card.turnUp();
+                fileNames.add(card.getFileName());
+            }
+        }
+        fileNames.add(new Card(1, "c").getFileName());
+        return fileNames;
+    }
+
+    /**
+     * Decodes the image with the given file name and keeps it for later paints.
+     * ImageIO is used rather than ImageIcon, which decodes one image at a time
+     * across the whole program, so that several images can be decoded at once
+     * @param fileName the file name of the image
+     * @return the image, or null if the file is missing or cannot be read
+     */
+    private static Image loadImage(String fileName)
+    {
+        File file = new File(fileName);
+        if (!file.exists())
+            return null;
+        try
+        {
+            Image image = ImageIO.read(file);
+            if (image != null)
+                IMAGES.put(fileName, image);
+            return image;
+        }
+        catch (IOException e)
+        {
+            return null;
+        }
+    }
+
     /**
      * Creates the card designs and the borders
      * @param g the graphics
      */
     public void paintComponent(Graphics g)
     {
+        int selectedRow = game.getSelection().getRow();
+        int selectedCol = game.getSelection().getCol();
+
         //background
         g.setColor(new Color(0, 128, 0));
         g.fillRect(0, 0, getWidth(), getHeight());
@@ -92,6 +173,32 @@ public class SolitaireDisplay extends JComponent implements MouseListener
                     offset += FACE_DOWN_OFFSET;
             }
         }
+
+        //no more moves
+        if (DeadPositionAnalyzer.isDead(game))
+        {
+            g.setColor(Color.YELLOW);
+            g.drawString("No more moves", SPACING, getHeight() - SPACING);
+        }
+
+        //startup time
+        if (firstPaint.getCount() > 0)
+        {
+            firstPaintTime = System.currentTimeMillis();
+            firstPaint.countDown();
+        }
+    }
+
+    /**
+     * Waits until the display has been painted for the first time
+     * @return the number of milliseconds from the launch of the program to the
+     *         first paint
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public long awaitFirstPaint() throws InterruptedException
+    {
+        firstPaint.await();
+        return firstPaintTime - ManagementFactory.getRuntimeMXBean().getStartTime();
     }
 
     /**
@@ -111,9 +218,11 @@ public class SolitaireDisplay extends JComponent implements MouseListener
         else
         {
             String fileName = card.getFileName();
-            if (!new File(fileName).exists())
+            Image image = IMAGES.get(fileName);
+            if (image == null)
+                image = loadImage(fileName);
+            if (image == null)
                 throw new IllegalArgumentException("bad file name:  " + fileName);
-            Image image = new ImageIcon(fileName).getImage();
             g.drawImage(image, x, y, CARD_WIDTH, CARD_HEIGHT, null);
         }
     }
@@ -188,99 +297,4 @@ public class SolitaireDisplay extends JComponent implements MouseListener
         g.drawRect(x + 1, y + 1, CARD_WIDTH - 2, CARD_HEIGHT - 2);
         g.drawRect(x + 2, y + 2, CARD_WIDTH - 4, CARD_HEIGHT - 4);
     }
-
-    /**
-     * Deselects what is selected
-     */
-    public void unselect()
-    {
-        selectedRow = -1;
-        selectedCol = -1;
-    }
-
-    /**
-     * Checks whether the waste is selected
-     * @return true is the waste is selected; otherwise,
-     *         false
-     */
-    public boolean isWasteSelected()
-    {
-        return selectedRow == 0 && selectedCol == 1;
-    }
-
-    /**
-     * Changes the selected row and column to the waste
-     */
-    public void selectWaste()
-    {
-        selectedRow = 0;
-        selectedCol = 1;
-    }
-
-    /**
-     * Checks whether a pile is selected
-     * @return true is a pile is selected; otherwise,
-     *         false
-     */
-    public boolean isPileSelected()
-    {
-        return selectedRow == 1;
-    }
-
-    /**
-     * Gets the index of the selected pile
-     * @return the index of the selected pile
-     */
-    public int selectedPile()
-    {
-        if (selectedRow == 1)
-            return selectedCol;
-        else
-            return -1;
-    }
-
-    /**
-     * Changes the selected row and column to the pile
-     * @param index the index of the pile
-     */
-    public void selectPile(int index)
-    {
-        selectedRow = 1;
-        selectedCol = index;
-    }
-
-    /**
-     * Checks whether a pile is selected
-     * @return true is a pile is selected; otherwise,
-     *         false
-     */
-    public boolean isFoundationSelected()
-    {
-        if (selectedRow == 0)
-            if (selectedCol > 2 && selectedCol < 7)
-                return true;
-        return false;
-    }
-
-    /**
-     * Gets the index of the selected foundation
-     * @return the index of the selected foundation
-     */
-    public int selectedFoundation()
-    {
-        if (isFoundationSelected())
-            return selectedCol - 3;
-        else
-            return -1;
-    }
-
-    /**
-     * Changes the selected row and column to the foundation
-     * @param index the index of the foundation
-     */
-    public void selectFoundation(int index)
-    {
-        selectedRow = 0;
-        selectedCol = index + 3;
-    }
 }
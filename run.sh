@@ -0,0 +1,27 @@
+#!/bin/bash
+# Builds and launches Solitaire with an AppCDS (class-data sharing) archive.
+#   1. compiles the sources into build/solitaire.jar
+#   2. makes a training run that exits after the first paint, which writes the
+#      loaded classes to build/solitaire.jsa
+#   3. launches the game with that archive
+# Steps 1 and 2 are skipped when their output is newer than its input. Needs
+# JDK 13 or later and a display.
+set -e
+cd "$(dirname "$0")"
+
+JAR=build/solitaire.jar
+ARCHIVE=build/solitaire.jsa
+
+if [ ! -f "$JAR" ] || [ -n "$(find . -maxdepth 1 -name '*.java' -newer "$JAR")" ]; then
+    rm -rf build/classes
+    mkdir -p build/classes
+    javac -d build/classes *.java
+    jar --create --file "$JAR" --main-class Solitaire -C build/classes .
+fi
+
+if [ ! -f "$ARCHIVE" ] || [ "$JAR" -nt "$ARCHIVE" ]; then
+    java -XX:ArchiveClassesAtExit="$ARCHIVE" -Dsolitaire.exitAfterFirstPaint=true \
+         -cp "$JAR" Solitaire
+fi
+
+exec java -XX:SharedArchiveFile="$ARCHIVE" -cp "$JAR" Solitaire "$@"